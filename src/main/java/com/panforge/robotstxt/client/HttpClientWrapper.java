@@ -17,6 +17,7 @@ package com.panforge.robotstxt.client;
 
 import com.panforge.robotstxt.RobotsTxt;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import org.apache.http.Header;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
@@ -35,16 +36,36 @@ public class HttpClientWrapper extends CloseableHttpClient {
 
   private final CloseableHttpClient httpClient;
   private final RobotsCache robotsCache;
+  private final Long maxWait;
 
   /**
    * Creates instance of the wrapper.
+   * <p>
+   * If maximum wait is specified, the wrapper fails fast with
+   * {@link HttpCrawlDelayException} instead of waiting past it for the crawl delay.
    *
    * @param httpClient HTTP client
    * @param robotsCache robots cache
+   * @param maxWait maximum wait in milliseconds or <code>null</code> to wait as long as crawl delay dictates
+   * @throws IllegalArgumentException if maximum wait specified but robots cache is not deadline aware
    */
-  public HttpClientWrapper(CloseableHttpClient httpClient, RobotsCache robotsCache) {
+  public HttpClientWrapper(CloseableHttpClient httpClient, RobotsCache robotsCache, Long maxWait) {
+    if (maxWait != null && !robotsCache.isDeadlineAware()) {
+      throw new IllegalArgumentException("Robots cache does not support maximum wait");
+    }
     this.httpClient = httpClient;
     this.robotsCache = robotsCache;
+    this.maxWait = maxWait;
+  }
+
+  /**
+   * Creates instance of the wrapper.
+   *
+   * @param httpClient HTTP client
+   * @param robotsCache robots cache
+   */
+  public HttpClientWrapper(CloseableHttpClient httpClient, RobotsCache robotsCache) {
+    this(httpClient, robotsCache, null);
   }
 
   /**
@@ -67,7 +88,20 @@ public class HttpClientWrapper extends CloseableHttpClient {
         throw new HttpRobotsException(request.getRequestLine().getUri().toString(), userAgent, grant.getClause());
       }
       if (grant.getCrawlDelay() != null) {
-        robotsCache.enter(userAgent, grant.getCrawlDelay(), target);
+        if (maxWait != null) {
+          long nextAllowedTime = robotsCache.tryEnter(userAgent, grant.getCrawlDelay(), target, System.currentTimeMillis() + maxWait);
+          if (nextAllowedTime > 0) {
+            if (Thread.interrupted()) {
+              throw new InterruptedIOException(String.format("Interrupted while waiting for crawl delay to access %s", request.getRequestLine().getUri()));
+            }
+            throw new HttpCrawlDelayException(request.getRequestLine().getUri().toString(), userAgent, nextAllowedTime);
+          }
+        } else {
+          robotsCache.enter(userAgent, grant.getCrawlDelay(), target);
+          if (Thread.interrupted()) {
+            throw new InterruptedIOException(String.format("Interrupted while waiting for crawl delay to access %s", request.getRequestLine().getUri()));
+          }
+        }
       }
     }
     return httpClient.execute(target, request, context);
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Piotr Andzel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.panforge.robotstxt.client;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpResponseException;
+
+/**
+ * HTTP crawl delay exception.
+ * Thrown when access to the host would have to wait past the deadline; the
+ * request may be retried at or after the next allowed time.
+ */
+public class HttpCrawlDelayException extends HttpResponseException {
+  private final String path;
+  private final String userAgent;
+  private final long nextAllowedTime;
+
+  /**
+   * Creates instance of the exception.
+   * @param path path
+   * @param userAgent user agent
+   * @param nextAllowedTime next allowed time (milliseconds since epoch)
+   */
+  public HttpCrawlDelayException(String path, String userAgent, long nextAllowedTime) {
+    super(HttpStatus.SC_SERVICE_UNAVAILABLE, String.format("Access to %s delayed by robots.txt crawl delay for user agent %s", path, userAgent));
+    this.path = path;
+    this.userAgent = userAgent;
+    this.nextAllowedTime = nextAllowedTime;
+  }
+
+  /**
+   * Gets path.
+   * @return path
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Gets user agent.
+   * @return user agent
+   */
+  public String getUserAgent() {
+    return userAgent;
+  }
+
+  /**
+   * Gets next allowed time.
+   * @return next allowed time (milliseconds since epoch)
+   */
+  public long getNextAllowedTime() {
+    return nextAllowedTime;
+  }
+}
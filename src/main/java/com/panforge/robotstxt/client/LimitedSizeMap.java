@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -66,6 +67,14 @@ class LimitedSizeMap<TI,TD> extends AbstractMap<TI,TD> {
   public synchronized TD get(Object key) {
     return data.get(key);
   }
+
+  public synchronized TD getAndApply(Object key, Consumer<TD> action) {
+    TD value = data.get(key);
+    if (value != null) {
+      action.accept(value);
+    }
+    return value;
+  }
   
   private void resize() {
     if (size() >= maxSize) {
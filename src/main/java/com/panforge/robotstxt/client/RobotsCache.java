@@ -16,6 +16,8 @@
 package com.panforge.robotstxt.client;
 
 import com.panforge.robotstxt.RobotsTxt;
+import java.util.BitSet;
+import java.util.List;
 import org.apache.http.HttpHost;
 import org.apache.http.impl.client.CloseableHttpClient;
 
@@ -30,16 +32,73 @@ public interface RobotsCache {
    * @return robots.txt if any
    */
   RobotsTxt fetch(CloseableHttpClient httpClient, HttpHost target);
-  
+
+  /**
+   * Checks batch of paths against cached robots.txt.
+   * Fetches robots.txt once and does not enter into the host. Crawl delay is
+   * resolved for the user agent regardless of the paths.
+   * @param httpClient HTTP client
+   * @param target target
+   * @param userAgent user agent
+   * @param paths paths to check
+   * @return check result
+   */
+  default RobotsCheckResult check(CloseableHttpClient httpClient, HttpHost target, String userAgent, List<String> paths) {
+    BitSet allowed = new BitSet(paths.size());
+    RobotsTxt robotsTxt = fetch(httpClient, target);
+    if (robotsTxt == null) {
+      allowed.set(0, paths.size());
+      return new RobotsCheckResult(allowed, null);
+    }
+    for (int i = 0; i < paths.size(); i++) {
+      if (robotsTxt.ask(userAgent, paths.get(i)).hasAccess()) {
+        allowed.set(i);
+      }
+    }
+    // crawl delay belongs to the user agent group, not to any particular path
+    return new RobotsCheckResult(allowed, robotsTxt.ask(userAgent, "/").getCrawlDelay());
+  }
+
   /**
    * Enters into the host.
-   * It will stop any further access by any other thread by given crawl delay
+   * It will stop any further access by any other thread by given crawl delay.
+   * If the thread is interrupted while waiting, it returns with the interrupt
+   * status set and without entering the host.
    * @param userAgent user agent or <code>null</code> if no user agent specified
    * @param crawlDelay crawl delay or <code>null</code> if no delay specified
    * @param target target
    */
   void enter(String userAgent, Integer crawlDelay, HttpHost target);
-  
+
+  /**
+   * Tries to enter into the host before the deadline.
+   * Unlike {@link #enter(String, Integer, HttpHost)} it does not wait if the
+   * crawl delay would keep it out of the host past the deadline.
+   * If the thread is interrupted while waiting, it returns with the interrupt
+   * status set and without entering the host.
+   * <p>
+   * Default implementation does not support deadlines; it waits as long as
+   * {@link #enter(String, Integer, HttpHost)} does. Implementations supporting
+   * deadlines override it together with {@link #isDeadlineAware()}.
+   * @param userAgent user agent or <code>null</code> if no user agent specified
+   * @param crawlDelay crawl delay or <code>null</code> if no delay specified
+   * @param target target
+   * @param deadline deadline (milliseconds since epoch)
+   * @return <code>0</code> if entered, or next allowed time (milliseconds since epoch) if not
+   */
+  default long tryEnter(String userAgent, Integer crawlDelay, HttpHost target, long deadline) {
+    enter(userAgent, crawlDelay, target);
+    return 0;
+  }
+
+  /**
+   * Checks if {@link #tryEnter(String, Integer, HttpHost, long)} honors the deadline.
+   * @return <code>true</code> if deadline aware
+   */
+  default boolean isDeadlineAware() {
+    return false;
+  }
+
   /**
    * Releases all cached information.
    */
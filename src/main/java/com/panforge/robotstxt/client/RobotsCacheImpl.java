@@ -23,6 +23,7 @@ import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.http.HttpHost;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -39,7 +40,7 @@ public class RobotsCacheImpl implements RobotsCache {
   public static final RobotsCacheImpl INSTANCE = new RobotsCacheImpl();
 
   private final LimitedSizeMap<String, Entry> cache = new LimitedSizeMap<>(INITIAL_SIZE, 
-          entry -> !entry.isLocked(), 
+          entry -> !entry.isPinned(), 
           (e1, e2) -> e1.counter - e2.counter, 
           e -> { e.counter = 0; return e; });
 
@@ -74,18 +75,51 @@ public class RobotsCacheImpl implements RobotsCache {
   @Override
   public void enter(String userAgent, Integer crawlDelay, HttpHost target) {
     String address = getAddress(target);
-    Entry robotsTxtEntry = cache.get(address);
-    synchronized (this) {
+    if (crawlDelay == null) {
+      return;
+    }
+    Entry robotsTxtEntry = cache.getAndApply(address, Entry::pin);
     if (robotsTxtEntry == null) {
       return;
     }
+    try {
+      robotsTxtEntry.enter(userAgent, crawlDelay);
+    } finally {
+      robotsTxtEntry.unpin();
+    }
+  }
+
+  @Override
+  public long tryEnter(String userAgent, Integer crawlDelay, HttpHost target, long deadline) {
+    String address = getAddress(target);
     if (crawlDelay == null) {
-      return;
+      return 0;
     }
-    robotsTxtEntry.enter(userAgent, crawlDelay);
+    Entry robotsTxtEntry = cache.getAndApply(address, Entry::pin);
+    if (robotsTxtEntry == null) {
+      return 0;
+    }
+    try {
+      return robotsTxtEntry.tryEnter(userAgent, crawlDelay, deadline);
+    } finally {
+      robotsTxtEntry.unpin();
     }
   }
   
+  @Override
+  public boolean isDeadlineAware() {
+    return true;
+  }
+
+  /**
+   * Checks if robots.txt for the target is cached.
+   * @param target target
+   * @return <code>true</code> if cached
+   */
+  boolean isCached(HttpHost target) {
+    return cache.get(getAddress(target)) != null;
+  }
+  
   @Override
   public void release() {
     cache.clear();
@@ -123,6 +157,7 @@ public class RobotsCacheImpl implements RobotsCache {
   private static class Entry {
 
     private final Map<String, Gate> gates = new HashMap<>();
+    private final AtomicInteger pins = new AtomicInteger();
     public final RobotsTxt robotsTxt;
     public int counter;
 
@@ -139,22 +174,58 @@ public class RobotsCacheImpl implements RobotsCache {
      * @param userAgent user agent
      * @param crawlDelay crawl delay
      */
-    public synchronized void enter(String userAgent, int crawlDelay) {
+    public void enter(String userAgent, int crawlDelay) {
+      getGate(userAgent, crawlDelay).enter();
+    }
+
+    /**
+     * Tries to enter the domain before the deadline.
+     * @param userAgent user agent
+     * @param crawlDelay crawl delay
+     * @param deadline deadline
+     * @return <code>0</code> if entered, or next allowed time
+     */
+    public long tryEnter(String userAgent, int crawlDelay, long deadline) {
+      return getGate(userAgent, crawlDelay).tryEnter(deadline);
+    }
+
+    /**
+     * Gets gate for the user agent.
+     * @param userAgent user agent
+     * @param crawlDelay crawl delay
+     * @return gate
+     */
+    private synchronized Gate getGate(String userAgent, int crawlDelay) {
       counter++;
       Gate gate = gates.get(userAgent);
       if (gate == null) {
-        gate = new Gate(crawlDelay);
+        gate = new Gate(this, crawlDelay);
         gates.put(userAgent, gate);
       }
-      gate.enter();
+      return gate;
+    }
+
+    /**
+     * Pins the entry so it is not evicted while in use.
+     * Entry stays pinned while any thread enters it or any gate is blocked.
+     */
+    public void pin() {
+      pins.incrementAndGet();
+    }
+
+    /**
+     * Unpins the entry.
+     */
+    public void unpin() {
+      pins.decrementAndGet();
     }
     
     /**
-     * Checks if anything locked.
-     * @return <code>true</code> if anything locked.
+     * Checks if entry is pinned.
+     * @return <code>true</code> if entry is in use
      */
-    public synchronized boolean isLocked() {
-      return gates.values().stream().anyMatch(Gate::isLocked);
+    public boolean isPinned() {
+      return pins.get() > 0;
     }
   }
 
@@ -163,68 +234,132 @@ public class RobotsCacheImpl implements RobotsCache {
    */
   private static class Gate {
 
+    private final Entry entry;
     private final int delay;
     private volatile boolean locked;
+    private long releaseTime;
     private final LinkedList<Lock> locks = new LinkedList<>();
 
     /**
      * Creates instance of the gate.
      *
+     * @param entry owning entry
      * @param delay wait delay
      */
-    public Gate(int delay) {
+    public Gate(Entry entry, int delay) {
+      this.entry = entry;
       this.delay = delay;
     }
 
     /**
      * Enters the gate.
+     * If interrupted while waiting, returns with the interrupt status set.
      */
     public void enter() {
-      Lock lock = createLock();
-      if (lock != null) {
-        lock.enter();
+      Lock lock;
+      synchronized (this) {
+        if (!locked) {
+          block();
+          return;
+        }
+        lock = createLock();
       }
-      block();
+      await(lock);
     }
-    
+
+    /**
+     * Tries to enter the gate before the deadline.
+     *
+     * @param deadline deadline
+     * @return <code>0</code> if entered, or next allowed time
+     */
+    public long tryEnter(long deadline) {
+      Lock lock;
+      synchronized (this) {
+        if (!locked) {
+          block();
+          return 0;
+        }
+        long nextAllowedTime = getNextAllowedTime();
+        if (nextAllowedTime > deadline) {
+          return nextAllowedTime;
+        }
+        lock = createLock();
+      }
+      if (await(lock)) {
+        return 0;
+      }
+      return getNextAllowedTime();
+    }
+
     /**
-     * Checks if anything locked.
-     * @return <code>true</code> if any pending lock present.
+     * Gets time at which the gate is expected to let in a new comer.
+     *
+     * @return next allowed time
      */
-    public synchronized boolean isLocked() {
-      return !locks.isEmpty();
+    private synchronized long getNextAllowedTime() {
+      if (!locked) {
+        return System.currentTimeMillis();
+      }
+      return releaseTime + 1000L * delay * locks.size();
     }
 
     /**
-     * Creates lock.
+     * Creates lock and puts it at the end of the queue.
      *
-     * @return lock or <code>null</code>
+     * @return lock
      */
     private synchronized Lock createLock() {
-      if (locked) {
-        Lock lock = new Lock(delay);
-        locks.addLast(lock);
-        return lock;
-      } else {
-        return null;
+      Lock lock = new Lock();
+      locks.addLast(lock);
+      return lock;
+    }
+
+    /**
+     * Waits until the lock is released.
+     * If interrupted, the lock is withdrawn from the queue unless it has
+     * already been released, and the interrupt status is restored.
+     *
+     * @param lock lock
+     * @return <code>true</code> if the gate has been handed over to the lock
+     */
+    private boolean await(Lock lock) {
+      try {
+        lock.enter();
+        return true;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        synchronized (this) {
+          return !locks.remove(lock);
+        }
       }
     }
 
     /**
      * Blocks the gate.
+     * When the delay passes, the gate is handed over to the first waiting
+     * lock, if any, and blocked again on its behalf. The owning entry stays
+     * pinned for as long as the gate is blocked.
      */
     private synchronized void block() {
+      if (!locked) {
+        entry.pin();
+      }
       locked = true;
+      releaseTime = System.currentTimeMillis() + 1000L * delay;
       Thread t = new Thread(new Runnable() {
         @Override
         public void run() {
           try {
-            Thread.sleep(1000 * delay);
+            Thread.sleep(1000L * delay);
             synchronized (Gate.this) {
-              locked = false;
               if (!locks.isEmpty()) {
                 Lock lock = locks.pop();
+                block();
                 lock.release();
+              } else {
+                locked = false;
+                entry.unpin();
               }
             }
           } catch (InterruptedException ex) {
@@ -240,19 +375,16 @@ public class RobotsCacheImpl implements RobotsCache {
    * Lock.
    */
   private static class Lock {
-    private final int delay;
-
-    public Lock(int delay) {
-      this.delay = delay;
-    }
+    private boolean released;
 
     /**
-     * Enters the gate and stops.
+     * Enters the gate and stops until released.
+     *
+     * @throws InterruptedException if interrupted while waiting
      */
-    public synchronized void enter() {
-      try {
-        wait(1000 * delay);
-      } catch (InterruptedException ex) {
+    public synchronized void enter() throws InterruptedException {
+      while (!released) {
+        wait();
       }
     }
 
@@ -260,6 +392,7 @@ public class RobotsCacheImpl implements RobotsCache {
      * Releases stopped lock.
      */
     public synchronized void release() {
+      released = true;
       notify();
     }
   }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Piotr Andzel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.panforge.robotstxt.client;
+
+import java.util.BitSet;
+
+/**
+ * Result of checking a batch of paths against robots.txt.
+ */
+public class RobotsCheckResult {
+  private final BitSet allowed;
+  private final Integer crawlDelay;
+
+  /**
+   * Creates instance of the result.
+   * @param allowed allowed paths; bit set for each allowed path index
+   * @param crawlDelay crawl delay or <code>null</code> if no delay specified
+   */
+  public RobotsCheckResult(BitSet allowed, Integer crawlDelay) {
+    this.allowed = allowed;
+    this.crawlDelay = crawlDelay;
+  }
+
+  /**
+   * Gets allowed paths.
+   * @return copy of the bit set with a bit set for each allowed path index
+   */
+  public BitSet getAllowed() {
+    return (BitSet) allowed.clone();
+  }
+
+  /**
+   * Checks if path is allowed.
+   * @param index path index
+   * @return <code>true</code> if path is allowed
+   */
+  public boolean isAllowed(int index) {
+    return allowed.get(index);
+  }
+
+  /**
+   * Gets crawl delay.
+   * @return crawl delay or <code>null</code> if no delay specified
+   */
+  public Integer getCrawlDelay() {
+    return crawlDelay;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Piotr Andzel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.panforge.robotstxt.client;
+
+import org.apache.http.HttpHost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+
+/**
+ * Robots cache eviction benchmark.
+ * Reports time spent evicting entries having various number of gates each.
+ * It is not run as a part of the test suite; run its main method directly.
+ */
+public class EvictionBenchmark {
+
+  private static final int HOSTS = 100;
+  private static final int MIN_SIZE = 10;
+  private static final int ROUNDS = 5;
+  private static final int UNREACHABLE_PORT = 60001;
+  private static final int [] GATES = { 1, 10, 100 };
+
+  public static void main(String[] args) throws Exception {
+    try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+      // warm up
+      measure(httpClient, GATES[0]);
+      for (int gates : GATES) {
+        long total = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+          total += measure(httpClient, gates);
+        }
+        System.out.println(String.format("%d hosts, %d gates per host: %d ns per eviction run", HOSTS, gates, total / ROUNDS));
+      }
+    }
+  }
+
+  /**
+   * Measures time of shrinking the cache from all the hosts to the minimum size.
+   */
+  private static long measure(CloseableHttpClient httpClient, int gates) throws InterruptedException {
+    RobotsCacheImpl robotsCache = new RobotsCacheImpl();
+    try {
+      for (int i = 0; i < HOSTS; i++) {
+        HttpHost host = new HttpHost("127.0.0.1", UNREACHABLE_PORT + i);
+        robotsCache.fetch(httpClient, host);
+        for (int u = 0; u < gates; u++) {
+          robotsCache.enter("agent" + u, 0, host);
+        }
+      }
+      // let gates with no crawl delay open and unpin their entries
+      Thread.sleep(500);
+
+      long start = System.nanoTime();
+      int size = HOSTS;
+      while (size > MIN_SIZE) {
+        robotsCache.setMaxSize(size);
+        size -= Math.round(size * 0.1);
+      }
+      return System.nanoTime() - start;
+    } finally {
+      robotsCache.release();
+    }
+  }
+}
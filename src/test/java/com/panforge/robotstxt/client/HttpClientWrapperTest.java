@@ -5,10 +5,16 @@
  */
 package com.panforge.robotstxt.client;
 
+import com.panforge.robotstxt.RobotsTxt;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHost;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -31,6 +37,7 @@ import org.mockserver.model.HttpResponse;
 public class HttpClientWrapperTest {
   
   private static int MOCK_SERVER_PORT = 1080;
+  private static int UNREACHABLE_PORT = 1;
   private static ClientAndServer mockServer;
   
   private CloseableHttpClient httpClient;
@@ -91,16 +98,114 @@ public class HttpClientWrapperTest {
     assertTrue((end-start)/1000 >= 5);
   }
   
+  @Test
+  public void testCrawlDelayFailFast() throws Exception {
+    try (HttpClientWrapper failFastWrapper = new HttpClientWrapper(HttpClients.createSystem(), new RobotsCacheImpl(), 0L)) {
+      long start = Calendar.getInstance().getTimeInMillis();
+      readContent(failFastWrapper, makeTestUrl("/index.html"), null);
+      long entered = Calendar.getInstance().getTimeInMillis();
+      try {
+        readContent(failFastWrapper, makeTestUrl("/index.html"), null);
+        fail("Expected HttpCrawlDelayException");
+      } catch (HttpCrawlDelayException ex) {
+        assertTrue(ex.getNextAllowedTime() >= start + 5000);
+        assertTrue(ex.getNextAllowedTime() <= entered + 5000);
+      }
+      long end = Calendar.getInstance().getTimeInMillis();
+      assertTrue((end-start)/1000 < 5);
+    }
+  }
+  
+  @Test
+  public void testInterruptedEnter() throws Exception {
+    RobotsCacheImpl robotsCache = new RobotsCacheImpl();
+    try (HttpClientWrapper wrapper = new HttpClientWrapper(HttpClients.createSystem(), robotsCache)) {
+      readContent(wrapper, makeTestUrl("/index.html"), null);
+      long entered = Calendar.getInstance().getTimeInMillis();
+      
+      AtomicReference<IOException> error = new AtomicReference<>();
+      Thread waiter = new Thread(() -> {
+        try {
+          readContent(wrapper, makeTestUrl("/index.html"), null);
+        } catch (IOException ex) {
+          error.set(ex);
+        }
+      });
+      waiter.start();
+      Thread.sleep(500);
+      waiter.interrupt();
+      waiter.join();
+      assertTrue(error.get() instanceof InterruptedIOException);
+      
+      long nextAllowedTime = robotsCache.tryEnter("", 5, new HttpHost("localhost", MOCK_SERVER_PORT), Calendar.getInstance().getTimeInMillis());
+      assertTrue(nextAllowedTime > 0);
+      assertTrue(nextAllowedTime <= entered + 5000);
+    }
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxWaitRequiresDeadlineAwareCache() throws Exception {
+    RobotsCache robotsCache = new RobotsCache() {
+      @Override
+      public RobotsTxt fetch(CloseableHttpClient httpClient, HttpHost target) {
+        return null;
+      }
+
+      @Override
+      public void enter(String userAgent, Integer crawlDelay, HttpHost target) {
+      }
+
+      @Override
+      public void release() {
+      }
+    };
+    new HttpClientWrapper(httpClient, robotsCache, 0L);
+  }
+  
+  @Test
+  public void testBatchCheck() throws Exception {
+    RobotsCheckResult result = new RobotsCacheImpl().check(httpClient, new HttpHost("localhost", MOCK_SERVER_PORT), "", Arrays.asList("/index.html", "/root/data.txt", "/other.html"));
+    assertTrue(result.isAllowed(0));
+    assertFalse(result.isAllowed(1));
+    assertTrue(result.isAllowed(2));
+    assertEquals(Integer.valueOf(5), result.getCrawlDelay());
+  }
+  
+  @Test
+  public void testBatchCheckEmptyPaths() throws Exception {
+    RobotsCheckResult result = new RobotsCacheImpl().check(httpClient, new HttpHost("localhost", MOCK_SERVER_PORT), "", Collections.emptyList());
+    assertTrue(result.getAllowed().isEmpty());
+    assertEquals(Integer.valueOf(5), result.getCrawlDelay());
+  }
+  
+  @Test
+  public void testBatchCheckWithoutRobotsTxt() throws Exception {
+    RobotsCheckResult result = new RobotsCacheImpl().check(httpClient, new HttpHost("localhost", UNREACHABLE_PORT), "", Arrays.asList("/index.html", "/root/data.txt"));
+    assertEquals(2, result.getAllowed().cardinality());
+    assertNull(result.getCrawlDelay());
+  }
+  
+  @Test
+  public void testBatchCheckResultIsNotShared() throws Exception {
+    RobotsCheckResult result = new RobotsCacheImpl().check(httpClient, new HttpHost("localhost", MOCK_SERVER_PORT), "", Arrays.asList("/index.html", "/root/data.txt"));
+    result.getAllowed().set(1);
+    assertFalse(result.isAllowed(1));
+  }
+  
   private String makeTestUrl(String path) {
     return String.format("http://localhost:%d%s", MOCK_SERVER_PORT, path);
   }
   
   private String readContent(String url, String userAgent) throws IOException {
+    return readContent(httpClientWrapper, url, userAgent);
+  }
+  
+  private String readContent(CloseableHttpClient client, String url, String userAgent) throws IOException {
     HttpGet request = new HttpGet(url);
     if (userAgent!=null) {
       request.setHeader("User-Agent", userAgent);
     }
-    try ( CloseableHttpResponse response = httpClientWrapper.execute(request); InputStream contentStream = response.getEntity().getContent(); ) {
+    try ( CloseableHttpResponse response = client.execute(request); InputStream contentStream = response.getEntity().getContent(); ) {
       String content = IOUtils.toString(contentStream, "UTF-8");
       return content;
     }
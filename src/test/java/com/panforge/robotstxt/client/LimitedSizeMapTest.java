@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Piotr Andzel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.panforge.robotstxt.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Limited size map eviction tests.
+ */
+public class LimitedSizeMapTest {
+
+  private static final int SIZE = 10;
+
+  @Test
+  public void testResizeEvaluatesPredicateOncePerEntry() {
+    AtomicInteger evaluations = new AtomicInteger();
+    LimitedSizeMap<Integer, Integer> map = new LimitedSizeMap<>(SIZE + 1,
+            value -> { evaluations.incrementAndGet(); return true; },
+            Integer::compare,
+            value -> value);
+    for (int i = 0; i < SIZE; i++) {
+      map.put(i, i);
+    }
+    assertEquals(0, evaluations.get());
+
+    map.setMaxSize(SIZE);
+
+    assertEquals(SIZE, evaluations.get());
+    assertEquals(SIZE - 1, map.size());
+  }
+
+  @Test
+  public void testPinnedValuesAreNotEvicted() {
+    LimitedSizeMap<Integer, Integer> map = new LimitedSizeMap<>(SIZE + 1,
+            value -> value >= SIZE / 2,
+            Integer::compare,
+            value -> value);
+    for (int i = 0; i < SIZE; i++) {
+      map.put(i, i);
+    }
+
+    map.setMaxSize(SIZE);
+
+    for (int i = 0; i < SIZE / 2; i++) {
+      assertNotNull(map.get(i));
+    }
+    assertNull(map.get(SIZE / 2));
+  }
+
+  @Test
+  public void testGetAndApplyAppliesOnlyToPresentValue() {
+    AtomicInteger applied = new AtomicInteger();
+    LimitedSizeMap<Integer, Integer> map = new LimitedSizeMap<>(SIZE,
+            value -> true,
+            Integer::compare,
+            value -> value);
+    map.put(1, 1);
+
+    assertEquals(Integer.valueOf(1), map.getAndApply(1, value -> applied.incrementAndGet()));
+    assertNull(map.getAndApply(2, value -> applied.incrementAndGet()));
+    assertEquals(1, applied.get());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Piotr Andzel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.panforge.robotstxt.client;
+
+import java.io.IOException;
+import org.apache.http.HttpHost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Robots cache eviction tests.
+ */
+public class RobotsCacheImplTest {
+
+  private static final int HOSTS = 10;
+  private static final int UNREACHABLE_PORT = 60001;
+
+  private CloseableHttpClient httpClient;
+  private RobotsCacheImpl robotsCache;
+
+  @Before
+  public void setUp() {
+    httpClient = HttpClients.createSystem();
+    robotsCache = new RobotsCacheImpl();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    robotsCache.release();
+    httpClient.close();
+  }
+
+  @Test
+  public void testPinnedEntryIsNotEvicted() throws Exception {
+    HttpHost [] hosts = populate(HOSTS);
+    robotsCache.enter("", 10, hosts[0]);
+    Thread.sleep(500);
+
+    robotsCache.setMaxSize(HOSTS);
+
+    assertTrue(robotsCache.isCached(hosts[0]));
+    assertEquals(HOSTS - 1, countCached(hosts));
+  }
+
+  @Test
+  public void testUnpinnedEntryIsEvicted() throws Exception {
+    HttpHost [] hosts = populate(HOSTS);
+    robotsCache.enter("", 1, hosts[0]);
+    Thread.sleep(1500);
+
+    robotsCache.setMaxSize(HOSTS);
+
+    assertFalse(robotsCache.isCached(hosts[0]));
+    assertEquals(HOSTS - 1, countCached(hosts));
+  }
+
+  @Test
+  public void testTryEnterWaitsForNextSlot() throws Exception {
+    HttpHost host = new HttpHost("127.0.0.1", UNREACHABLE_PORT);
+    robotsCache.fetch(httpClient, host);
+    robotsCache.enter("", 1, host);
+
+    long start = System.currentTimeMillis();
+    long nextAllowedTime = robotsCache.tryEnter("", 1, host, start + 5000);
+    long end = System.currentTimeMillis();
+
+    assertEquals(0, nextAllowedTime);
+    assertTrue(end - start >= 500);
+  }
+
+  /**
+   * Caches hosts; every host but the first one is entered twice with no
+   * crawl delay.
+   */
+  private HttpHost [] populate(int count) throws Exception {
+    HttpHost [] hosts = new HttpHost[count];
+    for (int i = 0; i < count; i++) {
+      hosts[i] = new HttpHost("127.0.0.1", UNREACHABLE_PORT + i);
+      robotsCache.fetch(httpClient, hosts[i]);
+      if (i > 0) {
+        robotsCache.enter("", 0, hosts[i]);
+        robotsCache.enter("", 0, hosts[i]);
+      }
+    }
+    return hosts;
+  }
+
+  private int countCached(HttpHost [] hosts) {
+    int count = 0;
+    for (HttpHost host : hosts) {
+      if (robotsCache.isCached(host)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}